@@ -2,6 +2,15 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
+}
+
+// -PfastStartup — jar с Spring AOT (запуск с -Dspring.aot.enabled=true), см. Dockerfile.fast
+val fastStartup = providers.gradleProperty("fastStartup").isPresent
+val startupRuns = providers.gradleProperty("startupRuns").map { it.toInt() }.getOrElse(3)
+if (fastStartup) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "io.aggregator"
@@ -34,6 +43,8 @@ dependencies {
     implementation ("org.postgresql:postgresql")
     implementation ("org.projectlombok:lombok")
     implementation ("com.fasterxml.jackson.core:jackson-databind")
+    implementation ("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation ("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     implementation ("org.springframework.boot:spring-boot-starter-validation")
     implementation ("org.springframework.boot:spring-boot-starter-cache")
     implementation ("org.flywaydb:flyway-database-postgresql")
@@ -46,3 +57,93 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// ./gradlew jmh — размер ответа и CPU сериализации: JSON, JSON+gzip, CBOR, Smile
+jmh {
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
+
+// обучающий запуск AppCDS: флаги в файле аргументов JVM, общем с Dockerfile.fast
+val cdsTrainingArgs = file("cds-training.args")
+
+fun runJava(java: String, dir: File, vararg args: String) {
+    val process = ProcessBuilder(java, *args).directory(dir).inheritIO().start()
+    check(process.waitFor() == 0) { "java ${args.joinToString(" ")} failed" }
+}
+
+// возвращает (мс до первого HTTP-ответа, RSS в КБ)
+fun measureStartup(java: String, dir: File, args: List<String>): Pair<Long, Long> {
+    val port = 18080
+    val client = java.net.http.HttpClient.newHttpClient()
+    val request = java.net.http.HttpRequest.newBuilder(java.net.URI("http://localhost:$port/api/projects")).build()
+
+    val started = System.nanoTime()
+    val process = ProcessBuilder(listOf(java, "-Dserver.port=$port") + args)
+            .directory(dir)
+            .redirectErrorStream(true)
+            .redirectOutput(File(dir, "startup.log"))
+            .start()
+    try {
+        while (true) {
+            check(process.isAlive) { "Application exited during startup, see ${dir}/startup.log" }
+            try {
+                client.send(request, java.net.http.HttpResponse.BodyHandlers.discarding())
+                break
+            } catch (e: java.io.IOException) {
+                Thread.sleep(20)
+            }
+        }
+        val ttfr = (System.nanoTime() - started) / 1_000_000
+        val rss = File("/proc/${process.pid()}/status").takeIf { it.exists() }
+                ?.readLines()?.firstOrNull { it.startsWith("VmRSS:") }
+                ?.split(Regex("\\s+"))?.get(1)?.toLong() ?: -1L
+        return ttfr to rss
+    } finally {
+        process.destroy()
+        process.waitFor()
+    }
+}
+
+// ./gradlew startupBenchmark -PfastStartup — время до первого ответа и RSS:
+// обычный запуск против AOT + AppCDS. Нужна доступная Postgres из application.yml.
+tasks.register("startupBenchmark") {
+    group = "benchmark"
+    description = "Measures time-to-first-request and RSS for plain and AOT + AppCDS startup"
+    dependsOn(tasks.named("bootJar"))
+
+    doLast {
+        check(fastStartup) { "Run with -PfastStartup: the AOT mode needs the AOT-processed jar" }
+
+        val java = javaToolchains.launcherFor {
+            languageVersion = JavaLanguageVersion.of(21)
+        }.get().executablePath.asFile.absolutePath
+        val bootJar = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+                .get().archiveFile.get().asFile
+        val runs = startupRuns
+
+        val workDir = layout.buildDirectory.dir("startup-benchmark").get().asFile
+        workDir.deleteRecursively()
+        workDir.mkdirs()
+        bootJar.copyTo(File(workDir, "app.jar"))
+
+        // распаковка и обучающий запуск — те же шаги, что в Dockerfile.fast
+        val extracted = File(workDir, "extracted")
+        runJava(java, workDir, "-Djarmode=tools", "-jar", "app.jar", "extract", "--destination", "extracted")
+        runJava(java, extracted, "@${cdsTrainingArgs.absolutePath}", "-jar", "app.jar")
+
+        // plain — исходный запуск до ускорения: fat jar без AOT и CDS, Hibernate сверяет схему (ddl-auto=update)
+        val modes = linkedMapOf(
+                "plain" to (workDir to listOf("-Dspring.aot.enabled=false",
+                        "-Dspring.jpa.hibernate.ddl-auto=update", "-jar", "app.jar")),
+                "aot+cds" to (extracted to listOf("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true", "-jar", "app.jar"))
+        )
+        modes.forEach { (mode, launch) ->
+            val samples = (1..runs).map { measureStartup(java, launch.first, launch.second) }
+            val ttfr = samples.map { it.first }.sorted()[runs / 2]
+            val rss = samples.map { it.second }.sorted()[runs / 2]
+            println("%-8s time-to-first-request=%d ms  rss=%d MB  (median of %d)".format(mode, ttfr, rss / 1024, runs))
+        }
+    }
+}
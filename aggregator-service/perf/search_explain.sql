@@ -0,0 +1,63 @@
+-- Планы поиска по коммитам на синтетических данных (схема после миграций Flyway).
+--   psql -d metrics_db -v commits=10000000 -f perf/search_explain.sql
+-- Данные создаются внутри транзакции и откатываются в конце; на 10M строк
+-- наполнение и построение индекса занимают несколько минут.
+
+\set ON_ERROR_STOP on
+\if :{?commits}
+\else
+\set commits 1000000
+\endif
+
+BEGIN;
+
+-- триггер NOTIFY на миллионы строк не нужен
+ALTER TABLE commits DISABLE TRIGGER trg_commits_notify;
+
+INSERT INTO projects (id, name) VALUES ('00000000-0000-0000-0000-000000000001', 'perf-project');
+INSERT INTO repositories (id, name, project_id)
+VALUES ('00000000-0000-0000-0000-000000000002', 'perf-repo', '00000000-0000-0000-0000-000000000001');
+INSERT INTO developers (id, name, email)
+SELECT uuid_generate_v4(), 'Perf Dev ' || g, 'perf' || g || '@example.com' FROM generate_series(1, 1000) g;
+
+-- частые слова (fix, update, tests) и редкие (refactor<N>) в каждом сообщении
+INSERT INTO commits (hash, message, created_at, developer_id, project_id, repository_id)
+SELECT md5('perf' || g),
+       (ARRAY['fix', 'update', 'add', 'remove'])[1 + g % 4] || ' '
+           || (ARRAY['tests', 'parser', 'docs', 'build', 'api'])[1 + g % 5]
+           || ' refactor' || (g % 50000),
+       TIMESTAMP '2020-01-01' + g * INTERVAL '10 seconds',
+       (SELECT id FROM developers WHERE email = 'perf' || (1 + g % 1000) || '@example.com'),
+       '00000000-0000-0000-0000-000000000001',
+       '00000000-0000-0000-0000-000000000002'
+FROM generate_series(1, :commits) g;
+
+ANALYZE commits;
+
+-- частое слово: ~25% строк
+EXPLAIN (ANALYZE, BUFFERS)
+WITH candidates AS (
+    SELECT c.id, c.hash, c.message, c.created_at, c.branch_name,
+           c.lines_added, c.lines_deleted, c.developer_id, c.project_id
+    FROM commits c
+    WHERE to_tsvector('simple', c.message) @@ websearch_to_tsquery('simple', 'fix')
+    ORDER BY c.created_at DESC LIMIT 1000)
+SELECT c.*, ts_rank(to_tsvector('simple', c.message), websearch_to_tsquery('simple', 'fix')) AS rank
+FROM candidates c
+ORDER BY rank DESC, c.created_at DESC
+LIMIT 21 OFFSET 0;
+
+-- редкое слово: ~0.002% строк
+EXPLAIN (ANALYZE, BUFFERS)
+WITH candidates AS (
+    SELECT c.id, c.hash, c.message, c.created_at, c.branch_name,
+           c.lines_added, c.lines_deleted, c.developer_id, c.project_id
+    FROM commits c
+    WHERE to_tsvector('simple', c.message) @@ websearch_to_tsquery('simple', 'refactor4242')
+    ORDER BY c.created_at DESC LIMIT 1000)
+SELECT c.*, ts_rank(to_tsvector('simple', c.message), websearch_to_tsquery('simple', 'refactor4242')) AS rank
+FROM candidates c
+ORDER BY rank DESC, c.created_at DESC
+LIMIT 21 OFFSET 0;
+
+ROLLBACK;
@@ -0,0 +1,109 @@
+package io.aggregator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.aggregator.dto.DeveloperDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сериализация списка разработчиков (как в лидерборде / /developers)
+ * в JSON, JSON+gzip, CBOR и Smile. Время — в отчёте JMH, размер на
+ * проводе печатается один раз при старте.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EncodingBenchmark {
+
+    @Param({"100", "1000"})
+    private int developers;
+
+    private List<DeveloperDTO> payload;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // мапперы — через билдер Boot, как в приложении, а не голый Jackson2ObjectMapperBuilder.json()
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run()) {
+            json = context.getBean(ObjectMapper.class);
+            cbor = WebConfig.binaryObjectMapper(context.getBean(Jackson2ObjectMapperBuilder.class), new CBORFactory());
+            smile = WebConfig.binaryObjectMapper(context.getBean(Jackson2ObjectMapperBuilder.class), new SmileFactory());
+        }
+
+        payload = new ArrayList<>(developers);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < developers; i++) {
+            payload.add(DeveloperDTO.builder()
+                    .id(UUID.randomUUID())
+                    .name("Developer " + i)
+                    .email("developer" + i + "@example.com")
+                    .totalCommits(100 + i)
+                    .linesAdded(5_000 + i * 7)
+                    .linesDeleted(2_000 + i * 3)
+                    .commitFrequency(1.5 + i / 1000.0)
+                    .firstCommitAt(now.minusDays(365 + i))
+                    .lastCommitAt(now.minusHours(i))
+                    .smallCommits(i % 40)
+                    .largeCommits(i % 10)
+                    .kpi((i % 100) / 100.0)
+                    .build());
+        }
+
+        System.out.printf("%n[bytes on wire, %d developers] json=%d json+gzip=%d cbor=%d smile=%d%n",
+                developers, json(), jsonGzip(), cbor(), smile());
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        out.reset();
+        json.writeValue(out, payload);
+        return out.size();
+    }
+
+    @Benchmark
+    public int jsonGzip() throws IOException {
+        out.reset();
+        try (OutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            json.writeValue(gzip, payload);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int cbor() throws IOException {
+        out.reset();
+        cbor.writeValue(out, payload);
+        return out.size();
+    }
+
+    @Benchmark
+    public int smile() throws IOException {
+        out.reset();
+        smile.writeValue(out, payload);
+        return out.size();
+    }
+}
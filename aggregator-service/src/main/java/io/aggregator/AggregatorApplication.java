@@ -2,11 +2,15 @@ package io.aggregator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class AggregatorApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(AggregatorApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package io.aggregator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Фоновые исполнители сервисов. Бинами, а не своими пулами: Spring
+ * останавливает их при закрытии контекста, а имена потоков видны в дампах.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    public static final String STREAM_REFRESH_EXECUTOR = "streamRefreshExecutor";
+    public static final String STREAM_SEND_EXECUTOR = "streamSendExecutor";
+    public static final String IDENTITY_EXECUTOR = "identityExecutor";
+    public static final String BATCH_EXECUTOR = "batchExecutor";
+    public static final String WARMER_EXECUTOR = "hotRepositoryWarmerExecutor";
+
+    // пересчёт SSE-дельт: по одному, чтобы не выбрать соединения БД
+    @Bean(STREAM_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor streamRefreshExecutor() {
+        return singleThread("repo-stream-refresh-");
+    }
+
+    // запись в SSE: виртуальный поток на подписчика, зависшая запись не занимает общий пул
+    @Bean(STREAM_SEND_EXECUTOR)
+    public SimpleAsyncTaskExecutor streamSendExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("repo-stream-send-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // перестроение карты личностей после загрузки коммитов — вне потока LISTEN
+    @Bean(IDENTITY_EXECUTOR)
+    public ThreadPoolTaskExecutor identityExecutor() {
+        return singleThread("developer-identity-");
+    }
+
+    // подзапросы пачки: пул меньше пула соединений Hikari
+    @Bean(BATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor batchExecutor(@Value("${aggregator.batch.threads:8}") int threads) {
+        return fixedPool("batch-query-", threads);
+    }
+
+    // прогрев горячих репозиториев: по одному, не мешая запросам пользователей
+    @Bean(WARMER_EXECUTOR)
+    public ThreadPoolTaskExecutor hotRepositoryWarmerExecutor() {
+        return singleThread("hot-repo-warmer-");
+    }
+
+    private static ThreadPoolTaskExecutor singleThread(String threadNamePrefix) {
+        return fixedPool(threadNamePrefix, 1);
+    }
+
+    private static ThreadPoolTaskExecutor fixedPool(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        return executor;
+    }
+}
@@ -1,12 +1,34 @@
 package io.aggregator;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    // билдер Boot (prototype): модули и spring.jackson.* — те же, что у JSON
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -15,4 +37,41 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    // Бинарные форматы по Accept: application/cbor, application/x-jackson-smile.
+    // Добавляются в конец, чтобы JSON остался форматом по умолчанию.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                binaryObjectMapper(objectMapperBuilder.getObject(), new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                binaryObjectMapper(objectMapperBuilder.getObject(), new SmileFactory())));
+    }
+
+    /**
+     * ObjectMapper для бинарных форматов на основе билдера Boot: даты — epoch
+     * millis вместо ISO-строк. Колонки — TIMESTAMP без зоны, поэтому
+     * LocalDateTime считается временем в UTC (БД и сервис работают в UTC);
+     * при другой зоне сервера epoch millis сместятся на её смещение.
+     */
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder
+                .factory(factory)
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+                .build();
+    }
+
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+
+        private EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package io.aggregator.controller;
 
+import io.aggregator.dto.BatchRequestDTO;
+import io.aggregator.dto.BatchResultDTO;
 import io.aggregator.dto.ProjectDTO;
 import io.aggregator.dto.RepositoryDTO;
 import io.aggregator.dto.DeveloperDTO;
+import io.aggregator.dto.HotRepositoryStatsDTO;
+import io.aggregator.dto.SearchResultDTO;
 import io.aggregator.service.AggregatorService;
+import io.aggregator.service.BatchService;
+import io.aggregator.service.DeveloperIdentityService;
+import io.aggregator.service.HotRepositoryCache;
+import io.aggregator.service.HotRepositoryWarmer;
+import io.aggregator.service.RepositoryAccessTracker;
+import io.aggregator.service.RepositoryStreamService;
+import io.aggregator.service.SearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api")
@@ -16,6 +33,13 @@ import java.util.List;
 public class AggregatorController {
 
     private final AggregatorService aggregatorService;
+    private final RepositoryStreamService repositoryStreamService;
+    private final SearchService searchService;
+    private final DeveloperIdentityService developerIdentityService;
+    private final BatchService batchService;
+    private final RepositoryAccessTracker accessTracker;
+    private final HotRepositoryWarmer hotRepositoryWarmer;
+    private final HotRepositoryCache hotRepositoryCache;
 
     // -----------------------------
     // ПРОЕКТЫ
@@ -96,4 +120,110 @@ public class AggregatorController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /** Подписка (SSE) на изменения статистики разработчиков репозитория по мере загрузки коммитов */
+    @GetMapping(value = "/projects/{projectName}/repos/{repoName}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRepositoryStats(
+            @PathVariable String projectName,
+            @PathVariable String repoName
+    ) {
+        UUID repositoryId;
+        try {
+            repositoryId = aggregatorService.getRepositoryId(projectName, repoName);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(repositoryStreamService.subscribe(repositoryId));
+    }
+
+    // -----------------------------
+    // СКЛЕЙКА РАЗРАБОТЧИКОВ
+    // -----------------------------
+
+    /** Вручную склеить два email одного разработчика; статистика затронутых репозиториев пересчитывается в фоне */
+    @PostMapping("/developers/merge")
+    public ResponseEntity<DeveloperDTO> mergeDevelopers(
+            @RequestParam String aliasEmail,
+            @RequestParam String canonicalEmail
+    ) {
+        try {
+            DeveloperIdentityService.Identity identity = developerIdentityService.merge(aliasEmail, canonicalEmail);
+            return ResponseEntity.ok(DeveloperDTO.builder()
+                    .id(identity.id())
+                    .name(identity.name())
+                    .email(identity.email())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // -----------------------------
+    // ПОИСК
+    // -----------------------------
+
+    /** Полнотекстовый поиск по сообщениям коммитов и по префиксу имени/email разработчиков */
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDTO> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String project,
+            @RequestParam(required = false) String repo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int commitPage,
+            @RequestParam(defaultValue = "0") int developerPage,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(searchService.search(q, project, repo, from, to, commitPage, developerPage, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 400 Bad Request
+        }
+    }
+
+    // -----------------------------
+    // ПАКЕТНЫЙ ЗАПРОС
+    // -----------------------------
+
+    /** Выполнить несколько подзапросов дашборда за один HTTP-запрос; статус у каждого подзапроса свой */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO>> batch(@RequestBody BatchRequestDTO request) {
+        try {
+            return ResponseEntity.ok(batchService.execute(request.getQueries()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // -----------------------------
+    // ГОРЯЧИЕ РЕПОЗИТОРИИ
+    // -----------------------------
+
+    /** Статистика трекера обращений и прогрева кэша — для настройки порогов */
+    @GetMapping("/stats/hot-repositories")
+    public ResponseEntity<HotRepositoryStatsDTO> getHotRepositoryStats() {
+        Map<RepositoryAccessTracker.RepoKey, UUID> warmed = hotRepositoryWarmer.getWarmed();
+        List<HotRepositoryStatsDTO.HotRepository> hot = accessTracker.hotKeys().stream()
+                .map(h -> HotRepositoryStatsDTO.HotRepository.builder()
+                        .project(h.key().project())
+                        .repo(h.key().repo())
+                        .estimatedHits(h.estimatedHits())
+                        .warmed(warmed.containsKey(h.key()))
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(HotRepositoryStatsDTO.builder()
+                .totalAccesses(accessTracker.getTotalAccesses())
+                .sketchWidth(accessTracker.getWidth())
+                .sketchDepth(accessTracker.getDepth())
+                .candidates(accessTracker.getCandidateCount())
+                .warmRuns(hotRepositoryWarmer.getWarmRuns())
+                .warmFailures(hotRepositoryWarmer.getWarmFailures())
+                .cacheHits(hotRepositoryCache.getHits())
+                .cacheMisses(hotRepositoryCache.getMisses())
+                .hotRepositories(hot)
+                .build());
+    }
 }
\ No newline at end of file
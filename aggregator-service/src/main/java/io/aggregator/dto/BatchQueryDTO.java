@@ -0,0 +1,27 @@
+package io.aggregator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQueryDTO {
+
+    public enum Type {
+        @JsonProperty("projects") PROJECTS,              // все проекты (без репозиториев)
+        @JsonProperty("project") PROJECT,                // проект с репозиториями
+        @JsonProperty("repos") REPOS,                    // репозитории проекта
+        @JsonProperty("developers") DEVELOPERS,          // разработчики репозитория
+        @JsonProperty("developerStats") DEVELOPER_STATS, // статистика разработчика (или всех, если email не задан)
+        @JsonProperty("leaderboard") LEADERBOARD         // топ разработчиков репозитория по KPI
+    }
+
+    private String id;       // ключ ответа, задаёт клиент
+    private Type type;
+    private String project;  // не задан — первый проект из списка, как на дашборде
+    private String repo;     // не задан — первый репозиторий проекта
+    private String email;
+    private Integer limit;   // только для LEADERBOARD
+}
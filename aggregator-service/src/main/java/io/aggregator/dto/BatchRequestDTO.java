@@ -0,0 +1,13 @@
+package io.aggregator.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+    private List<BatchQueryDTO> queries;
+}
@@ -0,0 +1,13 @@
+package io.aggregator.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    private String id;
+    private int status;  // HTTP-статус подзапроса: 200, 400, 404
+    private Object data; // null, если подзапрос не выполнен
+}
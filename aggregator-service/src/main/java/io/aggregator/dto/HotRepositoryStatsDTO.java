@@ -0,0 +1,37 @@
+package io.aggregator.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotRepositoryStatsDTO {
+
+    // count-min sketch
+    private long totalAccesses;
+    private int sketchWidth;
+    private int sketchDepth;
+    private int candidates;
+
+    // прогрев
+    private long warmRuns;
+    private long warmFailures;
+    private long cacheHits;
+    private long cacheMisses;
+
+    private List<HotRepository> hotRepositories;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HotRepository {
+        private String project;
+        private String repo;
+        private long estimatedHits;
+        private boolean warmed;
+    }
+}
@@ -0,0 +1,23 @@
+package io.aggregator.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String query;
+    private int size;
+
+    // коммиты и разработчики листаются независимо
+    private int commitPage;
+    private boolean commitsHasMore;
+    private List<CommitDTO> commits;       // по релевантности
+
+    private int developerPage;
+    private boolean developersHasMore;
+    private List<DeveloperDTO> developers; // по префиксу имени/email
+}
@@ -0,0 +1,133 @@
+package io.aggregator.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Слушает канал Postgres {@code commit_ingested} (триггер на commits) и
+ * публикует {@link CommitsIngestedEvent}. Уведомления за окно склейки
+ * собираются в одно событие, чтобы массовая загрузка не порождала шторм.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommitNotificationListener implements SmartLifecycle {
+
+    private static final String CHANNEL = "commit_ingested";
+
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${aggregator.stream.coalesce-window-ms:500}")
+    private long coalesceWindowMs;
+
+    @Value("${aggregator.stream.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "commit-notify-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                listen(connection);
+            } catch (SQLException e) {
+                log.warn("LISTEN {} failed, reconnecting in {} ms: {}", CHANNEL, reconnectDelayMs, e.getMessage());
+                sleepQuietly(reconnectDelayMs);
+            } catch (RuntimeException e) {
+                // поток не должен умирать: без него встанут SSE, алиасы и прогрев кэша
+                log.error("Commit notification listener failed, restarting in {} ms", reconnectDelayMs, e);
+                sleepQuietly(reconnectDelayMs);
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+        Set<UUID> pending = new HashSet<>();
+        long windowEndsAt = 0;
+
+        while (running) {
+            // ждём либо первое уведомление, либо конец текущего окна
+            int timeout = pending.isEmpty()
+                    ? (int) reconnectDelayMs
+                    : (int) Math.max(1, windowEndsAt - System.currentTimeMillis());
+
+            PGNotification[] notifications = pgConnection.getNotifications(timeout);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    UUID repositoryId = parseRepositoryId(notification.getParameter());
+                    if (repositoryId == null) {
+                        continue;
+                    }
+                    if (pending.isEmpty()) {
+                        windowEndsAt = System.currentTimeMillis() + coalesceWindowMs;
+                    }
+                    pending.add(repositoryId);
+                }
+            }
+
+            if (!pending.isEmpty() && System.currentTimeMillis() >= windowEndsAt) {
+                eventPublisher.publishEvent(new CommitsIngestedEvent(Set.copyOf(pending)));
+                pending.clear();
+            }
+        }
+    }
+
+    // payload может прийти не от триггера (ручной NOTIFY) — такие пропускаем
+    private UUID parseRepositoryId(String payload) {
+        try {
+            return UUID.fromString(payload);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Ignoring {} notification with unexpected payload: '{}'", CHANNEL, payload);
+            return null;
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.aggregator.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Внутреннее событие: в репозитории появились новые коммиты.
+ * Публикуется один раз на окно склейки, сколько бы коммитов ни пришло.
+ */
+public record CommitsIngestedEvent(Set<UUID> repositoryIds) {
+}
@@ -0,0 +1,11 @@
+package io.aggregator.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Внутреннее событие: изменилась склейка личностей или имя/email разработчика.
+ * Несёт только затронутые репозитории — пересчитывать нужно их, а не всё.
+ */
+public record DevelopersMergedEvent(Set<UUID> repositoryIds) {
+}
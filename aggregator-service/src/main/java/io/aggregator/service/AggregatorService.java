@@ -18,8 +18,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -33,6 +38,9 @@ public class AggregatorService {
     private final CommitRepository commitRepository;
     private final JdbcTemplate jdbcTemplate;
     private final DeveloperRepository developerRepository;
+    private final DeveloperIdentityService identityService;
+    private final RepositoryAccessTracker accessTracker;
+    private final HotRepositoryCache hotRepositoryCache;
 
     // -----------------------------
     // Все проекты (без репозиториев)
@@ -60,6 +68,21 @@ public class AggregatorService {
 
     @Transactional(readOnly = true)
     public List<DeveloperDTO> getDevelopersByRepository(String projectName, String repoName) {
+        // горячий репозиторий — готовый список из кэша
+        HotRepositoryCache.WarmEntry warm = hotRepositoryCache.get(projectName, repoName);
+        if (warm != null) {
+            accessTracker.record(projectName, repoName);
+            return warm.developers();
+        }
+
+        // учитываем обращение только к существующему репозиторию
+        List<DeveloperDTO> developers = loadDevelopersByRepository(projectName, repoName);
+        accessTracker.record(projectName, repoName);
+        return developers;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeveloperDTO> loadDevelopersByRepository(String projectName, String repoName) {
         // 1. Получаем проект по имени
         Project project = projectRepository.findByName(projectName)
                 .orElseThrow(() -> new RuntimeException("Project not found: " + projectName));
@@ -71,27 +94,50 @@ public class AggregatorService {
         // 3. Получаем всех разработчиков через коммиты этого репозитория
         List<Developer> developers = commitRepository.findDistinctAuthorsByRepository(repository);
 
-        // 4. Преобразуем в DTO и добавляем дату последнего коммита
-        return developers.stream()
-                .map(dev -> toDeveloperDTOWithLastCommit(dev, repository))
+        // 4. Склеиваем алиасы одной личности
+        Map<UUID, List<Developer>> byCanonical = developers.stream()
+                .collect(Collectors.groupingBy(dev -> identityService.canonicalOf(dev.getId()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        // 5. Преобразуем в DTO и добавляем дату последнего коммита
+        return byCanonical.entrySet().stream()
+                .map(e -> toDeveloperDTOWithLastCommit(e.getKey(), e.getValue(), repository))
                 .collect(Collectors.toList());
     }
 
-    private DeveloperDTO toDeveloperDTOWithLastCommit(Developer developer, RepositoryEntity repository) {
-        LocalDateTime lastCommitAt = commitRepository.findLastCommitDateByAuthorAndRepository(developer, repository)
+    private DeveloperDTO toDeveloperDTOWithLastCommit(UUID canonicalId, List<Developer> members,
+                                                      RepositoryEntity repository) {
+        LocalDateTime lastCommitAt = members.stream()
+                .map(dev -> commitRepository.findLastCommitDateByAuthorAndRepository(dev, repository))
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder())
                 .orElse(null);
 
+        DeveloperIdentityService.Identity identity = identityService.identityOf(canonicalId);
+        Developer first = members.get(0);
+
         return DeveloperDTO.builder()
-                .id(developer.getId())
-                .name(developer.getName())
-                .email(developer.getEmail())
+                .id(canonicalId)
+                .name(identity != null ? identity.name() : first.getName())
+                .email(identity != null ? identity.email() : first.getEmail())
                 .lastCommitAt(lastCommitAt)
                 .build();
     }
 
     @Transactional(readOnly = true)
     public DeveloperDTO getDeveloperStatsInRepository(String projectName, String repoName, String developerEmail) {
-
+        // горячий репозиторий — KPI уже посчитан прогревом; попадание — только если нашёлся сам разработчик
+        HotRepositoryCache.WarmEntry warm = hotRepositoryCache.peek(projectName, repoName);
+        if (warm != null) {
+            UUID developerId = identityService.canonicalOf((UUID) getDeveloperRow(developerEmail).get("id"));
+            DeveloperDTO cached = warm.statsByDeveloper().get(developerId);
+            if (cached != null) {
+                hotRepositoryCache.recordHit();
+                accessTracker.record(projectName, repoName);
+                return cached;
+            }
+        }
+        hotRepositoryCache.recordMiss();
 
         // 1. Получаем проект
         Map<String, Object> projectRow = getProjectRow(projectName);
@@ -101,12 +147,17 @@ public class AggregatorService {
         Map<String, Object> repoRow = getRepositoryRow(repoName, projectId);
         UUID repositoryId = (UUID) repoRow.get("id");
 
-        // 3. Получаем разработчика
+        // репозиторий существует — обращение учитываем
+        accessTracker.record(projectName, repoName);
+
+        // 3. Получаем разработчика и все его алиасы
         Map<String, Object> devRow = getDeveloperRow(developerEmail);
-        UUID developerId = (UUID) devRow.get("id");
+        UUID developerId = identityService.canonicalOf((UUID) devRow.get("id"));
+        List<UUID> developerIds = identityService.membersOf(developerId);
+        DeveloperIdentityService.Identity identity = identityService.identityOf(developerId);
 
         // 4. Получаем метрики разработчика в репозитории
-        Map<String, Object> metricsRow = getDeveloperMetrics(developerId, repositoryId);
+        Map<String, Object> metricsRow = getDeveloperMetrics(developerIds, repositoryId);
         int totalCommits = ((Number) metricsRow.get("totalCommits")).intValue();
         int linesAdded = ((Number) metricsRow.get("linesAdded")).intValue();
         int linesDeleted = ((Number) metricsRow.get("linesDeleted")).intValue();
@@ -114,7 +165,7 @@ public class AggregatorService {
         LocalDateTime lastCommit = ((Timestamp) metricsRow.get("lastCommit")).toLocalDateTime();
 
         // 5. Подсчет мелких и больших коммитов
-        Map<String, Object> sizeRow = getDeveloperCommitSizes(developerId, repositoryId);
+        Map<String, Object> sizeRow = getDeveloperCommitSizes(developerIds, repositoryId);
         int smallCommits = ((Number) sizeRow.get("smallCommits")).intValue();
         int largeCommits = ((Number) sizeRow.get("largeCommits")).intValue();
 
@@ -143,8 +194,8 @@ public class AggregatorService {
         // 9. Собираем DTO
         return DeveloperDTO.builder()
                 .id(developerId)
-                .name((String) devRow.get("name"))
-                .email((String) devRow.get("email"))
+                .name(identity != null ? identity.name() : (String) devRow.get("name"))
+                .email(identity != null ? identity.email() : (String) devRow.get("email"))
                 .totalCommits(totalCommits)
                 .linesAdded(linesAdded)
                 .linesDeleted(linesDeleted)
@@ -156,6 +207,75 @@ public class AggregatorService {
                 .build();
     }
 
+    // -----------------------------
+    // id репозитория по имени проекта и репозитория
+    // -----------------------------
+    @Transactional(readOnly = true)
+    public UUID getRepositoryId(String projectName, String repoName) {
+        UUID projectId = (UUID) getProjectRow(projectName).get("id");
+        return (UUID) getRepositoryRow(repoName, projectId).get("id");
+    }
+
+    // -----------------------------
+    // Статистика всех разработчиков репозитория одним GROUP BY
+    // -----------------------------
+    @Transactional(readOnly = true)
+    public List<DeveloperDTO> getDeveloperStatsByRepositoryId(UUID repositoryId) {
+        Map<String, Object> maxRow = getRepositoryMaxMetrics(repositoryId);
+        int maxCommits = ((Number) maxRow.get("maxCommits")).intValue();
+        int maxLinesAdded = ((Number) maxRow.get("maxLinesAdded")).intValue();
+        int maxLinesDeleted = ((Number) maxRow.get("maxLinesDeleted")).intValue();
+        int maxSmallCommits = ((Number) maxRow.get("maxSmallCommits")).intValue();
+        int maxLargeCommits = ((Number) maxRow.get("maxLargeCommits")).intValue();
+        double maxCommitFreq = ((Number) maxRow.get("maxCommitFreq")).doubleValue();
+
+        // строки по каждому email склеиваем в памяти по canonical-личности
+        Map<UUID, List<Map<String, Object>>> rowsByCanonical = getDeveloperMetricsByRepository(repositoryId).stream()
+                .collect(Collectors.groupingBy(row -> identityService.canonicalOf((UUID) row.get("id")),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        return rowsByCanonical.entrySet().stream()
+                .map(e -> {
+                    List<Map<String, Object>> rows = e.getValue();
+                    int totalCommits = sumInt(rows, "totalCommits");
+                    int linesAdded = sumInt(rows, "linesAdded");
+                    int linesDeleted = sumInt(rows, "linesDeleted");
+                    int smallCommits = sumInt(rows, "smallCommits");
+                    int largeCommits = sumInt(rows, "largeCommits");
+                    LocalDateTime firstCommit = rows.stream()
+                            .map(row -> ((Timestamp) row.get("firstCommit")).toLocalDateTime())
+                            .min(Comparator.naturalOrder()).orElseThrow();
+                    LocalDateTime lastCommit = rows.stream()
+                            .map(row -> ((Timestamp) row.get("lastCommit")).toLocalDateTime())
+                            .max(Comparator.naturalOrder()).orElseThrow();
+                    DeveloperIdentityService.Identity identity = identityService.identityOf(e.getKey());
+
+                    double commitFrequency = totalCommits
+                            / (double) Math.max(Duration.between(firstCommit, lastCommit).toDays(), 1);
+
+                    int normalCommits = totalCommits - smallCommits - largeCommits;
+                    double kpi = calculateKpi(normalCommits, linesAdded, linesDeleted,
+                            smallCommits, largeCommits, commitFrequency,
+                            maxCommits, maxLinesAdded, maxLinesDeleted,
+                            maxSmallCommits, maxLargeCommits, maxCommitFreq);
+
+                    return DeveloperDTO.builder()
+                            .id(e.getKey())
+                            .name(identity != null ? identity.name() : (String) rows.get(0).get("name"))
+                            .email(identity != null ? identity.email() : (String) rows.get(0).get("email"))
+                            .totalCommits(totalCommits)
+                            .linesAdded(linesAdded)
+                            .linesDeleted(linesDeleted)
+                            .commitFrequency(commitFrequency)
+                            .lastCommitAt(lastCommit)
+                            .kpi(kpi)
+                            .smallCommits(smallCommits)
+                            .largeCommits(largeCommits)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
     private Map<String, Object> getProjectRow(String projectName) {
         String projectQuery = "SELECT id, name FROM projects WHERE name = ?";
         return jdbcTemplate.queryForMap(projectQuery, projectName);
@@ -171,7 +291,7 @@ public class AggregatorService {
         return jdbcTemplate.queryForMap(devQuery, developerEmail);
     }
 
-    private Map<String, Object> getDeveloperMetrics(UUID developerId, UUID repositoryId) {
+    private Map<String, Object> getDeveloperMetrics(List<UUID> developerIds, UUID repositoryId) {
         String metricsSql = """
             SELECT 
                 COUNT(*) AS totalCommits,
@@ -180,20 +300,53 @@ public class AggregatorService {
                 MIN(created_at) AS firstCommit,
                 MAX(created_at) AS lastCommit
             FROM commits
-            WHERE developer_id = ? AND repository_id = ?
-        """;
-        return jdbcTemplate.queryForMap(metricsSql, developerId, repositoryId);
+            WHERE developer_id IN (%s) AND repository_id = ?
+        """.formatted(placeholders(developerIds.size()));
+        return jdbcTemplate.queryForMap(metricsSql, withRepositoryId(developerIds, repositoryId));
     }
 
-    private Map<String, Object> getDeveloperCommitSizes(UUID developerId, UUID repositoryId) {
+    private Map<String, Object> getDeveloperCommitSizes(List<UUID> developerIds, UUID repositoryId) {
         String sizeSql = """
             SELECT
                 SUM(CASE WHEN (lines_added + lines_deleted) <= 5 THEN 1 ELSE 0 END) AS smallCommits,
                 SUM(CASE WHEN (lines_added + lines_deleted) >= 50 THEN 1 ELSE 0 END) AS largeCommits
             FROM commits
-            WHERE developer_id = ? AND repository_id = ?
+            WHERE developer_id IN (%s) AND repository_id = ?
+        """.formatted(placeholders(developerIds.size()));
+        return jdbcTemplate.queryForMap(sizeSql, withRepositoryId(developerIds, repositoryId));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] withRepositoryId(List<UUID> developerIds, UUID repositoryId) {
+        List<Object> args = new ArrayList<>(developerIds);
+        args.add(repositoryId);
+        return args.toArray();
+    }
+
+    private static int sumInt(List<Map<String, Object>> rows, String column) {
+        return rows.stream().mapToInt(row -> ((Number) row.get(column)).intValue()).sum();
+    }
+
+    private List<Map<String, Object>> getDeveloperMetricsByRepository(UUID repositoryId) {
+        String metricsSql = """
+            SELECT
+                d.id, d.name, d.email,
+                COUNT(*) AS totalCommits,
+                COALESCE(SUM(c.lines_added),0) AS linesAdded,
+                COALESCE(SUM(c.lines_deleted),0) AS linesDeleted,
+                MIN(c.created_at) AS firstCommit,
+                MAX(c.created_at) AS lastCommit,
+                SUM(CASE WHEN (c.lines_added + c.lines_deleted) <= 5 THEN 1 ELSE 0 END) AS smallCommits,
+                SUM(CASE WHEN (c.lines_added + c.lines_deleted) >= 50 THEN 1 ELSE 0 END) AS largeCommits
+            FROM commits c
+            JOIN developers d ON d.id = c.developer_id
+            WHERE c.repository_id = ?
+            GROUP BY d.id, d.name, d.email
         """;
-        return jdbcTemplate.queryForMap(sizeSql, developerId, repositoryId);
+        return jdbcTemplate.queryForList(metricsSql, repositoryId);
     }
 
     private Map<String, Object> getRepositoryMaxMetrics(UUID repositoryId) {
@@ -0,0 +1,174 @@
+package io.aggregator.service;
+
+import io.aggregator.ExecutorConfig;
+import io.aggregator.dto.BatchQueryDTO;
+import io.aggregator.dto.BatchResultDTO;
+import io.aggregator.dto.DeveloperDTO;
+import io.aggregator.dto.ProjectDTO;
+import io.aggregator.dto.RepositoryDTO;
+import io.aggregator.entity.Developer;
+import io.aggregator.repository.DeveloperRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Выполняет пачку подзапросов дашборда за один HTTP-запрос.
+ * <p>
+ * Общие выборки (проект со списком репозиториев, статистика репозитория)
+ * запрашиваются один раз на пачку, остальное выводится из них; независимые подзапросы идут
+ * параллельно на ограниченном пуле, чтобы не выбрать все соединения БД.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchService {
+
+    private final AggregatorService aggregatorService;
+    private final DeveloperIdentityService identityService;
+    private final DeveloperRepository developerRepository;
+
+    @Qualifier(ExecutorConfig.BATCH_EXECUTOR)
+    private final Executor executor;
+
+    @Value("${aggregator.batch.max-queries:50}")
+    private int maxQueries;
+
+    // -----------------------------
+    // Выполнение пачки
+    // -----------------------------
+    public List<BatchResultDTO> execute(List<BatchQueryDTO> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > maxQueries) {
+            throw new IllegalArgumentException("Batch must contain 1.." + maxQueries + " queries");
+        }
+
+        Batch batch = new Batch();
+        List<CompletableFuture<BatchResultDTO>> futures = queries.stream()
+                .map(query -> batch.run(query)
+                        .thenApply(data -> result(query, 200, data))
+                        .exceptionally(e -> result(query, statusOf(e), null)))
+                .toList();
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private static BatchResultDTO result(BatchQueryDTO query, int status, Object data) {
+        return BatchResultDTO.builder()
+                .id(query.getId())
+                .status(status)
+                .data(data)
+                .build();
+    }
+
+    // тот же ответ, что у /developers: только личность и дата последнего коммита
+    private static DeveloperDTO toDeveloper(DeveloperDTO stats) {
+        return DeveloperDTO.builder()
+                .id(stats.getId())
+                .name(stats.getName())
+                .email(stats.getEmail())
+                .lastCommitAt(stats.getLastCommitAt())
+                .build();
+    }
+
+    private static int statusOf(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof IllegalArgumentException ? 400 : 404;
+    }
+
+    // -----------------------------
+    // Состояние одной пачки: общие выборки по ключу
+    // -----------------------------
+    private final class Batch {
+
+        private final Map<String, CompletableFuture<?>> shared = new ConcurrentHashMap<>();
+
+        CompletableFuture<?> run(BatchQueryDTO query) {
+            if (query.getType() == null) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("Query type is required"));
+            }
+
+            return switch (query.getType()) {
+                case PROJECTS -> projects();
+                case PROJECT -> project(query.getProject());
+                case REPOS -> project(query.getProject()).thenApply(ProjectDTO::getRepositories);
+                case DEVELOPERS -> repositoryStats(query).thenApply(stats -> stats.stream()
+                        .map(BatchService::toDeveloper)
+                        .collect(Collectors.toList()));
+                case DEVELOPER_STATS -> developerStats(query);
+                case LEADERBOARD -> repositoryStats(query).thenApply(stats -> stats.stream()
+                        .sorted(Comparator.comparingDouble(DeveloperDTO::getKpi).reversed())
+                        .limit(query.getLimit() != null ? query.getLimit() : 10)
+                        .collect(Collectors.toList()));
+            };
+        }
+
+        private CompletableFuture<List<ProjectDTO>> projects() {
+            return shared("projects", aggregatorService::getAllProjects);
+        }
+
+        // без имени — первый проект списка: первый экран дашборда собирается одной пачкой
+        private CompletableFuture<ProjectDTO> project(String projectName) {
+            if (projectName == null) {
+                return projects().thenCompose(projects -> project(projects.stream()
+                        .findFirst()
+                        .map(ProjectDTO::getName)
+                        .orElseThrow(() -> new RuntimeException("No projects"))));
+            }
+            return shared("project:" + projectName, () -> aggregatorService.getProjectByName(projectName));
+        }
+
+        // статистика всех разработчиков репозитория — общая для DEVELOPERS, DEVELOPER_STATS и LEADERBOARD;
+        // id репозитория берётся из уже загруженного проекта, без отдельного запроса
+        private CompletableFuture<List<DeveloperDTO>> repositoryStats(BatchQueryDTO query) {
+            return project(query.getProject())
+                    .thenApply(project -> repositoryId(project, query.getRepo()))
+                    .thenCompose(id -> shared("repoStats:" + id,
+                            () -> aggregatorService.getDeveloperStatsByRepositoryId(id)));
+        }
+
+        // без имени — первый репозиторий проекта, в том же порядке, что отдаёт REPOS
+        private UUID repositoryId(ProjectDTO project, String repoName) {
+            return project.getRepositories().stream()
+                    .filter(repo -> repoName == null || repo.getName().equals(repoName))
+                    .map(RepositoryDTO::getId)
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException(repoName == null
+                            ? "Project has no repositories: " + project.getName()
+                            : "Repository not found: " + repoName));
+        }
+
+        private CompletableFuture<?> developerStats(BatchQueryDTO query) {
+            if (query.getEmail() == null) {
+                return repositoryStats(query);
+            }
+            CompletableFuture<UUID> developerId = shared("developer:" + query.getEmail(),
+                    () -> developerRepository.findByEmail(query.getEmail())
+                            .map(Developer::getId)
+                            .map(identityService::canonicalOf)
+                            .orElseThrow(() -> new RuntimeException("Developer not found: " + query.getEmail())));
+
+            return repositoryStats(query).thenCombine(developerId, (stats, id) -> stats.stream()
+                    .filter(dto -> dto.getId().equals(id))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("No commits of " + query.getEmail() + " in repository")));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> CompletableFuture<T> shared(String key, Supplier<T> loader) {
+            return (CompletableFuture<T>) shared.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(loader, executor));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.aggregator.service;
+
+import io.aggregator.service.DeveloperIdentityService.Identity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Правила склейки личностей без обращения к БД: на вход — разработчики и
+ * ручные склейки, на выход — группы и canonical каждой группы.
+ * <p>
+ * Правила: одинаковый email без учёта регистра; noreply-адрес склеивается
+ * с единственным разработчиком с тем же именем; ручные склейки.
+ * Canonical — цель ручной склейки, затем не-noreply, затем email по алфавиту.
+ */
+final class DeveloperIdentityRules {
+
+    private static final Pattern NOREPLY = Pattern.compile("(?i).*no-?reply.*");
+
+    /** Группы из двух и более разработчиков; одиночки в карты не попадают */
+    record Groups(Map<UUID, UUID> canonicalById, Map<UUID, List<UUID>> membersByCanonical) {
+    }
+
+    private DeveloperIdentityRules() {
+    }
+
+    static Groups resolve(Collection<Identity> identities, Map<UUID, UUID> manual) {
+        Map<UUID, Identity> byId = identities.stream()
+                .collect(Collectors.toMap(Identity::id, Function.identity()));
+        UnionFind groups = new UnionFind();
+
+        // 1. email без учёта регистра
+        Map<String, UUID> byEmail = new HashMap<>();
+        // 2. имя → разработчики с «настоящим» email
+        Map<String, List<UUID>> realByName = new HashMap<>();
+        for (Identity identity : identities) {
+            UUID first = byEmail.putIfAbsent(fold(identity.email()), identity.id());
+            if (first != null) {
+                groups.union(first, identity.id());
+            }
+            if (!isNoreply(identity.email()) && !fold(identity.name()).isEmpty()) {
+                realByName.computeIfAbsent(fold(identity.name()), k -> new ArrayList<>()).add(identity.id());
+            }
+        }
+        for (Identity identity : identities) {
+            if (isNoreply(identity.email()) && !fold(identity.name()).isEmpty()) {
+                List<UUID> candidates = realByName.getOrDefault(fold(identity.name()), List.of());
+                if (candidates.size() == 1) {
+                    groups.union(candidates.get(0), identity.id());
+                }
+            }
+        }
+        // 3. ручные склейки (ссылки на неизвестных разработчиков пропускаем)
+        manual.forEach((alias, canonical) -> {
+            if (byId.containsKey(alias) && byId.containsKey(canonical)) {
+                groups.union(alias, canonical);
+            }
+        });
+
+        Comparator<UUID> preference = preference(byId, manual);
+        Map<UUID, UUID> canonicalById = new HashMap<>();
+        Map<UUID, List<UUID>> membersByCanonical = new HashMap<>();
+        byId.keySet().stream()
+                .collect(Collectors.groupingBy(groups::find))
+                .values().stream()
+                .filter(members -> members.size() > 1)
+                .forEach(members -> {
+                    UUID canonical = members.stream().min(preference).orElseThrow();
+                    members.forEach(id -> canonicalById.put(id, canonical));
+                    membersByCanonical.put(canonical, List.copyOf(members));
+                });
+        return new Groups(canonicalById, membersByCanonical);
+    }
+
+    // canonical: цель ручной склейки (сама не алиас), затем не-noreply, затем email по алфавиту
+    static Comparator<UUID> preference(Map<UUID, Identity> identities, Map<UUID, UUID> manual) {
+        Set<UUID> manualTargets = new HashSet<>(manual.values());
+        return Comparator
+                .comparing((UUID id) -> !manualTargets.contains(id) || manual.containsKey(id))
+                .thenComparing(id -> isNoreply(identities.get(id).email()))
+                .thenComparing(id -> identities.get(id).email());
+    }
+
+    static boolean isNoreply(String email) {
+        return email != null && NOREPLY.matcher(email).matches();
+    }
+
+    static String fold(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class UnionFind {
+
+        private final Map<UUID, UUID> parent = new HashMap<>();
+
+        UUID find(UUID id) {
+            UUID p = parent.getOrDefault(id, id);
+            if (p.equals(id)) {
+                return id;
+            }
+            UUID root = find(p);
+            parent.put(id, root);
+            return root;
+        }
+
+        void union(UUID a, UUID b) {
+            UUID rootA = find(a);
+            UUID rootB = find(b);
+            if (!rootA.equals(rootB)) {
+                parent.put(rootB, rootA);
+            }
+        }
+    }
+}
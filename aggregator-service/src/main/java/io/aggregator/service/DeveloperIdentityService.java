@@ -0,0 +1,223 @@
+package io.aggregator.service;
+
+import io.aggregator.ExecutorConfig;
+import io.aggregator.event.CommitsIngestedEvent;
+import io.aggregator.event.DevelopersMergedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Склейка разработчиков с несколькими email в одну личность.
+ * <p>
+ * Правила склейки — в {@link DeveloperIdentityRules}, ручные склейки — в
+ * {@code developer_aliases}. Карта alias → canonical держится в памяти,
+ * запросы статистики группируют по ней строки, не трогая лишние коммиты.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeveloperIdentityService {
+
+    private static final int REPOSITORY_LOOKUP_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Qualifier(ExecutorConfig.IDENTITY_EXECUTOR)
+    private final Executor executor;
+
+    public record Identity(UUID id, String name, String email) {
+    }
+
+    // version — значение developers_change_seq, с которым читалась таблица
+    record AliasMap(Map<UUID, UUID> canonicalById,
+                    Map<UUID, List<UUID>> membersByCanonical,
+                    Map<UUID, Identity> identities,
+                    Map<UUID, UUID> manual,
+                    long version) {
+    }
+
+    private volatile AliasMap aliasMap = new AliasMap(Map.of(), Map.of(), Map.of(), Map.of(), -1);
+
+    // -----------------------------
+    // Чтение карты
+    // -----------------------------
+    public UUID canonicalOf(UUID developerId) {
+        return aliasMap.canonicalById().getOrDefault(developerId, developerId);
+    }
+
+    public List<UUID> membersOf(UUID canonicalId) {
+        return aliasMap.membersByCanonical().getOrDefault(canonicalId, List.of(canonicalId));
+    }
+
+    public Identity identityOf(UUID developerId) {
+        return aliasMap.identities().get(developerId);
+    }
+
+    // -----------------------------
+    // Ручная склейка
+    // -----------------------------
+    public Identity merge(String aliasEmail, String canonicalEmail) {
+        UUID aliasId = getDeveloperId(aliasEmail);
+        UUID canonicalId = getDeveloperId(canonicalEmail);
+        if (canonicalOf(aliasId).equals(canonicalOf(canonicalId))) {
+            throw new IllegalArgumentException("Developers are already merged: " + aliasEmail + ", " + canonicalEmail);
+        }
+
+        jdbcTemplate.update("""
+            INSERT INTO developer_aliases (alias_developer_id, canonical_developer_id)
+            VALUES (?, ?)
+            ON CONFLICT (alias_developer_id) DO UPDATE SET canonical_developer_id = EXCLUDED.canonical_developer_id
+        """, aliasId, canonicalId);
+
+        AliasMap before;
+        AliasMap after;
+        synchronized (this) {
+            before = aliasMap;
+            reload();
+            after = aliasMap;
+        }
+        publishChanges(before, after);
+
+        return identityOf(canonicalOf(canonicalId));
+    }
+
+    private UUID getDeveloperId(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM developers WHERE email = ?", UUID.class, email);
+    }
+
+    // -----------------------------
+    // Перестроение карты
+    // -----------------------------
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @EventListener
+    public void onCommitsIngested(CommitsIngestedEvent event) {
+        // не держим поток LISTEN на запросах к БД
+        executor.execute(() -> {
+            try {
+                refreshIfChanged();
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh developer identities: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Новые разработчики и переименования могли изменить склейку и имена в
+     * статистике. Таблицу перечитываем, только если сдвинулась
+     * {@code developers_change_seq} (триггер V5); ручные склейки — из памяти.
+     */
+    private synchronized void refreshIfChanged() {
+        AliasMap before = aliasMap;
+        long version = currentVersion();
+        if (version == before.version()) {
+            return;
+        }
+        aliasMap = build(loadIdentities(), before.manual(), version);
+        if (before.version() >= 0) { // до первой загрузки сравнивать не с чем
+            publishChanges(before, aliasMap);
+        }
+    }
+
+    public synchronized void reload() {
+        // версию читаем до таблицы: изменение во время чтения даст ещё одно перечитывание, а не пропуск
+        long version = currentVersion();
+        Map<UUID, UUID> manual = new HashMap<>();
+        jdbcTemplate.query("SELECT alias_developer_id, canonical_developer_id FROM developer_aliases", rs -> {
+            manual.put(rs.getObject("alias_developer_id", UUID.class), rs.getObject("canonical_developer_id", UUID.class));
+        });
+        aliasMap = build(loadIdentities(), manual, version);
+    }
+
+    private long currentVersion() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM developers_change_seq", Long.class);
+        return version != null ? version : 0;
+    }
+
+    private Map<UUID, Identity> loadIdentities() {
+        Map<UUID, Identity> identities = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, email FROM developers", rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            identities.put(id, new Identity(id, rs.getString("name"), rs.getString("email")));
+        });
+        return identities;
+    }
+
+    private static AliasMap build(Map<UUID, Identity> identities, Map<UUID, UUID> manual, long version) {
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(identities.values(), manual);
+        return new AliasMap(groups.canonicalById(), groups.membersByCanonical(),
+                Map.copyOf(identities), Map.copyOf(manual), version);
+    }
+
+    // -----------------------------
+    // Какие репозитории пересчитать
+    // -----------------------------
+    private void publishChanges(AliasMap before, AliasMap after) {
+        Set<UUID> developerIds = changedDevelopers(before, after);
+        if (developerIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> repositoryIds = repositoriesOf(developerIds);
+        if (!repositoryIds.isEmpty()) {
+            eventPublisher.publishEvent(new DevelopersMergedEvent(repositoryIds));
+        }
+    }
+
+    /**
+     * Все участники групп (старых и новых), где сменился canonical какого-либо
+     * разработчика или имя/email участника: у этих личностей в статистике
+     * меняется id, email или имя во всех их репозиториях.
+     */
+    static Set<UUID> changedDevelopers(AliasMap before, AliasMap after) {
+        Set<UUID> changedCanonicals = new HashSet<>();
+        after.identities().forEach((id, identity) -> {
+            UUID oldCanonical = before.canonicalById().getOrDefault(id, id);
+            UUID newCanonical = after.canonicalById().getOrDefault(id, id);
+            if (!oldCanonical.equals(newCanonical) || !identity.equals(before.identities().get(id))) {
+                changedCanonicals.add(oldCanonical);
+                changedCanonicals.add(newCanonical);
+            }
+        });
+
+        Set<UUID> developerIds = new HashSet<>();
+        for (UUID canonical : changedCanonicals) {
+            developerIds.addAll(before.membersByCanonical().getOrDefault(canonical, List.of(canonical)));
+            developerIds.addAll(after.membersByCanonical().getOrDefault(canonical, List.of(canonical)));
+        }
+        return developerIds;
+    }
+
+    private Set<UUID> repositoriesOf(Set<UUID> developerIds) {
+        Set<UUID> repositoryIds = new HashSet<>();
+        List<UUID> ids = List.copyOf(developerIds);
+        // порциями: у драйвера ограничено число параметров запроса
+        for (int from = 0; from < ids.size(); from += REPOSITORY_LOOKUP_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REPOSITORY_LOOKUP_CHUNK, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            repositoryIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT repository_id FROM commits WHERE repository_id IS NOT NULL AND developer_id IN (" + placeholders + ")",
+                    UUID.class, chunk.toArray()));
+        }
+        return repositoryIds;
+    }
+}
@@ -0,0 +1,74 @@
+package io.aggregator.service;
+
+import io.aggregator.dto.DeveloperDTO;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш предрасчитанных данных горячих репозиториев. Пишет только
+ * {@link HotRepositoryWarmer}, читает {@link AggregatorService}.
+ */
+@Component
+public class HotRepositoryCache {
+
+    public static final String CACHE_NAME = "hotRepositories";
+
+    public record WarmEntry(List<DeveloperDTO> developers,
+                            Map<UUID, DeveloperDTO> statsByDeveloper,
+                            LocalDateTime warmedAt) {
+    }
+
+    private final Cache cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public HotRepositoryCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public WarmEntry get(String project, String repo) {
+        WarmEntry entry = cache.get(new RepositoryAccessTracker.RepoKey(project, repo), WarmEntry.class);
+        (entry != null ? hits : misses).incrementAndGet();
+        return entry;
+    }
+
+    // чтение без учёта в hit/miss: прогрев и запросы, где попадание решается позже
+    public WarmEntry peek(String project, String repo) {
+        return peek(new RepositoryAccessTracker.RepoKey(project, repo));
+    }
+
+    WarmEntry peek(RepositoryAccessTracker.RepoKey key) {
+        return cache.get(key, WarmEntry.class);
+    }
+
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void put(RepositoryAccessTracker.RepoKey key, WarmEntry entry) {
+        cache.put(key, entry);
+    }
+
+    void evict(RepositoryAccessTracker.RepoKey key) {
+        cache.evict(key);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,152 @@
+package io.aggregator.service;
+
+import io.aggregator.ExecutorConfig;
+import io.aggregator.dto.DeveloperDTO;
+import io.aggregator.event.CommitsIngestedEvent;
+import io.aggregator.event.DevelopersMergedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Держит в кэше готовые списки разработчиков и KPI для горячих репозиториев
+ * (по {@link RepositoryAccessTracker}). Пересчёт идёт сразу после загрузки
+ * коммитов и заменяет запись целиком, поэтому горячий ключ не остаётся без
+ * значения; остывшие ключи из кэша удаляются. Записи старше {@code max-age-ms}
+ * пересчитываются по расписанию — на случай пропущенного NOTIFY.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotRepositoryWarmer {
+
+    private final AggregatorService aggregatorService;
+    private final RepositoryAccessTracker tracker;
+    private final HotRepositoryCache cache;
+
+    @Qualifier(ExecutorConfig.WARMER_EXECUTOR)
+    private final Executor executor;
+
+    @Value("${aggregator.hot.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    // прогретые ключи → id репозитория (события приходят с id)
+    private final Map<RepositoryAccessTracker.RepoKey, UUID> warmed = new ConcurrentHashMap<>();
+
+    // ключи в очереди на прогрев: медленный прогрев не копит дубли
+    private final Set<RepositoryAccessTracker.RepoKey> queued = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong warmRuns = new AtomicLong();
+    private final AtomicLong warmFailures = new AtomicLong();
+
+    // -----------------------------
+    // Пересчёт набора горячих ключей
+    // -----------------------------
+    @Scheduled(fixedDelayString = "${aggregator.hot.warm-interval-ms:30000}")
+    public void refreshHotSet() {
+        Set<RepositoryAccessTracker.RepoKey> hot = tracker.hotKeys().stream()
+                .map(RepositoryAccessTracker.HotKey::key)
+                .collect(Collectors.toSet());
+
+        // остывшие — из кэша
+        warmed.keySet().stream()
+                .filter(key -> !hot.contains(key))
+                .toList()
+                .forEach(key -> {
+                    warmed.remove(key);
+                    cache.evict(key);
+                });
+
+        // новые горячие и устаревшие — прогреваем
+        LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(maxAgeMs));
+        hot.stream()
+                .filter(key -> !warmed.containsKey(key) || isStale(key, staleBefore))
+                .forEach(this::schedule);
+    }
+
+    private boolean isStale(RepositoryAccessTracker.RepoKey key, LocalDateTime staleBefore) {
+        HotRepositoryCache.WarmEntry entry = cache.peek(key);
+        return entry == null || entry.warmedAt().isBefore(staleBefore);
+    }
+
+    @EventListener
+    public void onCommitsIngested(CommitsIngestedEvent event) {
+        rewarm(event.repositoryIds());
+    }
+
+    @EventListener
+    public void onDevelopersMerged(DevelopersMergedEvent event) {
+        rewarm(event.repositoryIds());
+    }
+
+    private void rewarm(Set<UUID> repositoryIds) {
+        warmed.forEach((key, repositoryId) -> {
+            if (repositoryIds.contains(repositoryId)) {
+                schedule(key);
+            }
+        });
+    }
+
+    private void schedule(RepositoryAccessTracker.RepoKey key) {
+        if (queued.add(key)) {
+            executor.execute(() -> warm(key));
+        }
+    }
+
+    private void warm(RepositoryAccessTracker.RepoKey key) {
+        queued.remove(key);
+        warmRuns.incrementAndGet();
+        try {
+            UUID repositoryId = aggregatorService.getRepositoryId(key.project(), key.repo());
+            List<DeveloperDTO> developers = aggregatorService.loadDevelopersByRepository(key.project(), key.repo());
+            Map<UUID, DeveloperDTO> stats = aggregatorService.getDeveloperStatsByRepositoryId(repositoryId).stream()
+                    .collect(Collectors.toMap(DeveloperDTO::getId, Function.identity()));
+
+            cache.put(key, new HotRepositoryCache.WarmEntry(
+                    List.copyOf(developers), Map.copyOf(stats), LocalDateTime.now()));
+            warmed.put(key, repositoryId);
+        } catch (EmptyResultDataAccessException e) {
+            // репозиторий удалён или переименован — ключ больше не прогреваем
+            warmFailures.incrementAndGet();
+            warmed.remove(key);
+            cache.evict(key);
+            tracker.forget(key);
+            log.info("Dropping hot key {}/{}: repository not found", key.project(), key.repo());
+        } catch (RuntimeException e) {
+            warmFailures.incrementAndGet();
+            log.warn("Failed to warm {}/{}: {}", key.project(), key.repo(), e.getMessage());
+        }
+    }
+
+    // -----------------------------
+    // Статистика для настройки
+    // -----------------------------
+    public Map<RepositoryAccessTracker.RepoKey, UUID> getWarmed() {
+        return Map.copyOf(warmed);
+    }
+
+    public long getWarmRuns() {
+        return warmRuns.get();
+    }
+
+    public long getWarmFailures() {
+        return warmFailures.get();
+    }
+}
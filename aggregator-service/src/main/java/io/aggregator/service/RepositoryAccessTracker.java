@@ -0,0 +1,142 @@
+package io.aggregator.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Частота обращений к репозиториям: count-min sketch по ключу (project, repo).
+ * <p>
+ * Память фиксирована (depth × width счётчиков) при любом числе ключей;
+ * оценка может только завышать. Ключи, набравшие {@code min-hits},
+ * попадают в небольшой список кандидатов, из которого берётся топ.
+ * Периодически счётчики делятся пополам, чтобы «горячесть» отражала
+ * недавний трафик.
+ */
+@Service
+public class RepositoryAccessTracker {
+
+    private static final int DEPTH = 4;
+
+    public record RepoKey(String project, String repo) {
+    }
+
+    public record HotKey(RepoKey key, long estimatedHits) {
+    }
+
+    private final int width;
+    private final int topK;
+    private final long minHits;
+    private final AtomicLongArray counters;
+    private final LongAdder totalAccesses = new LongAdder();
+    private final Map<RepoKey, Boolean> candidates = new ConcurrentHashMap<>();
+
+    public RepositoryAccessTracker(@Value("${aggregator.hot.sketch-width:4096}") int width,
+                                   @Value("${aggregator.hot.top-k:20}") int topK,
+                                   @Value("${aggregator.hot.min-hits:20}") long minHits) {
+        this.width = width;
+        this.topK = topK;
+        this.minHits = minHits;
+        this.counters = new AtomicLongArray(DEPTH * width);
+    }
+
+    // -----------------------------
+    // Учёт обращения
+    // -----------------------------
+    public void record(String project, String repo) {
+        RepoKey key = new RepoKey(project, repo);
+        totalAccesses.increment();
+
+        long estimate = Long.MAX_VALUE;
+        long h1 = mix(key.hashCode());
+        long h2 = mix(h1) | 1;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1, h2)));
+        }
+
+        if (estimate >= minHits && candidates.putIfAbsent(key, Boolean.TRUE) == null
+                && candidates.size() > topK * 4) {
+            // держим список кандидатов ограниченным: выкидываем самых холодных
+            candidates.keySet().stream()
+                    .sorted(Comparator.comparingLong(this::estimate))
+                    .limit(candidates.size() - topK * 2L)
+                    .forEach(candidates::remove);
+        }
+    }
+
+    // ключ не существует (репозиторий удалён) — больше не предлагаем его как горячий
+    public void forget(RepoKey key) {
+        candidates.remove(key);
+    }
+
+    public long estimate(RepoKey key) {
+        long estimate = Long.MAX_VALUE;
+        long h1 = mix(key.hashCode());
+        long h2 = mix(h1) | 1;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    // -----------------------------
+    // Горячие ключи
+    // -----------------------------
+    public List<HotKey> hotKeys() {
+        return candidates.keySet().stream()
+                .map(key -> new HotKey(key, estimate(key)))
+                .filter(hot -> hot.estimatedHits() >= minHits)
+                .sorted(Comparator.comparingLong(HotKey::estimatedHits).reversed())
+                .limit(topK)
+                .collect(Collectors.toList());
+    }
+
+    public long getTotalAccesses() {
+        return totalAccesses.sum();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return DEPTH;
+    }
+
+    public int getCandidateCount() {
+        return candidates.size();
+    }
+
+    // -----------------------------
+    // Затухание
+    // -----------------------------
+    @Scheduled(fixedDelayString = "${aggregator.hot.decay-interval-ms:300000}")
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+        candidates.keySet().removeIf(key -> estimate(key) < minHits);
+    }
+
+    private int index(int row, long h1, long h2) {
+        return row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+    }
+
+    // финализатор MurmurHash3: разбрасывает близкие hashCode по всей ширине
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,319 @@
+package io.aggregator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aggregator.ExecutorConfig;
+import io.aggregator.dto.DeveloperDTO;
+import io.aggregator.event.CommitsIngestedEvent;
+import io.aggregator.event.DevelopersMergedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SSE-подписки на изменения статистики разработчиков в репозитории.
+ * <p>
+ * Дельта считается и сериализуется один раз на репозиторий, подписчикам
+ * уходит готовый кадр: {@code developers} — новые и изменённые строки,
+ * {@code removed} — email строк, пропавших после склейки личностей. Медленному клиенту не копится очередь: при
+ * переполнении его кадры заменяются одним снимком репозитория. Запись,
+ * зависшая дольше {@code write-timeout-ms}, отключает подписчика, а
+ * периодический heartbeat выявляет клиентов, которые ушли молча.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepositoryStreamService {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    private final AggregatorService aggregatorService;
+    private final ObjectMapper objectMapper;
+
+    @Qualifier(ExecutorConfig.STREAM_REFRESH_EXECUTOR)
+    private final Executor refreshExecutor;
+
+    // виртуальный поток на подписчика: зависшая запись не занимает общий пул
+    @Qualifier(ExecutorConfig.STREAM_SEND_EXECUTOR)
+    private final Executor sendExecutor;
+
+    @Value("${aggregator.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${aggregator.stream.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    @Value("${aggregator.stream.max-pending-frames:16}")
+    private int maxPendingFrames;
+
+    // подписчики по id репозитория
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // последнее разосланное состояние по id репозитория
+    private final Map<UUID, RepositoryState> states = new ConcurrentHashMap<>();
+
+    // -----------------------------
+    // Подписка
+    // -----------------------------
+    public SseEmitter subscribe(UUID repositoryId) {
+        // снимок грузим до регистрации: при ошибке запроса подписчик не остаётся висеть.
+        // Запрос идёт в своей транзакции (OSIV выключен), к моменту возврата emitter
+        // соединение уже в пуле — подписка держит только сокет клиента
+        RepositoryState state = states.get(repositoryId);
+        if (state == null) {
+            state = new RepositoryState(loadSnapshot(repositoryId));
+            RepositoryState existing = states.putIfAbsent(repositoryId, state);
+            if (existing != null) {
+                state = existing;
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(repositoryId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // первым сообщением — полный текущий снимок
+        subscriber.offer(state.snapshotFrame());
+        subscribers.computeIfAbsent(repositoryId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        // пока регистрировались, мог пройти пересчёт — дельту мы бы пропустили
+        RepositoryState latest = states.get(repositoryId);
+        if (latest != null && latest != state) {
+            subscriber.offer(latest.snapshotFrame());
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.repositoryId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        if (!subscribers.containsKey(subscriber.repositoryId)) {
+            states.remove(subscriber.repositoryId);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Throwable cause) {
+        unsubscribe(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    // -----------------------------
+    // Новые коммиты → дельта подписчикам
+    // -----------------------------
+    @EventListener
+    public void onCommitsIngested(CommitsIngestedEvent event) {
+        refreshAsync(event.repositoryIds());
+    }
+
+    @EventListener
+    public void onDevelopersMerged(DevelopersMergedEvent event) {
+        refreshAsync(event.repositoryIds());
+    }
+
+    private void refreshAsync(Set<UUID> repositoryIds) {
+        // не держим поток-публикатор на запросах к БД
+        refreshExecutor.execute(() -> repositoryIds.stream()
+                .filter(subscribers::containsKey)
+                .forEach(this::refresh));
+    }
+
+    private void refresh(UUID repositoryId) {
+        Map<String, DeveloperDTO> current;
+        try {
+            current = loadSnapshot(repositoryId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh stats for repository {}: {}", repositoryId, e.getMessage());
+            return;
+        }
+
+        RepositoryState previous = states.put(repositoryId, new RepositoryState(current));
+        List<DeveloperDTO> delta = new ArrayList<>();
+        current.forEach((email, dto) -> {
+            if (previous == null || !Objects.equals(previous.developers.get(email), dto)) {
+                delta.add(dto);
+            }
+        });
+        // строки, исчезнувшие после склейки (alias ушёл в canonical)
+        List<String> removed = previous == null ? List.of() : previous.developers.keySet().stream()
+                .filter(email -> !current.containsKey(email))
+                .toList();
+        if (delta.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        Set<Subscriber> targets = subscribers.get(repositoryId);
+        if (targets == null) {
+            return;
+        }
+        // сначала удаления: клиент не покажет alias и canonical одновременно
+        if (!removed.isEmpty()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = frame("removed", removed);
+            targets.forEach(s -> s.offer(frame));
+        }
+        if (!delta.isEmpty()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = frame("developers", delta);
+            targets.forEach(s -> s.offer(frame));
+        }
+    }
+
+    private Map<String, DeveloperDTO> loadSnapshot(UUID repositoryId) {
+        Map<String, DeveloperDTO> snapshot = new LinkedHashMap<>();
+        aggregatorService.getDeveloperStatsByRepositoryId(repositoryId)
+                .forEach(dto -> snapshot.put(dto.getEmail(), dto));
+        return snapshot;
+    }
+
+    // один раз сериализованный кадр, общий для всех подписчиков
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, Collection<?> data) {
+        try {
+            return SseEmitter.event()
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // -----------------------------
+    // Heartbeat и контроль зависших записей
+    // -----------------------------
+    @Scheduled(fixedDelayString = "${aggregator.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs)) {
+                drop(subscriber, new IOException("SSE write timed out after " + writeTimeoutMs + " ms"));
+            } else {
+                subscriber.offerHeartbeat();
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    // -----------------------------
+    // Состояние репозитория: данные и лениво сериализованный снимок
+    // -----------------------------
+    private final class RepositoryState {
+
+        private final Map<String, DeveloperDTO> developers;
+        private volatile Set<ResponseBodyEmitter.DataWithMediaType> snapshotFrame;
+
+        private RepositoryState(Map<String, DeveloperDTO> developers) {
+            this.developers = developers;
+        }
+
+        Set<ResponseBodyEmitter.DataWithMediaType> snapshotFrame() {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = snapshotFrame;
+            if (frame == null) {
+                frame = frame("snapshot", developers.values());
+                snapshotFrame = frame;
+            }
+            return frame;
+        }
+    }
+
+    // -----------------------------
+    // Подписчик с ограниченной очередью кадров
+    // -----------------------------
+    private final class Subscriber {
+
+        private final UUID repositoryId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Deque<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ArrayDeque<>();
+        private volatile long sendStartedAt;
+
+        private Subscriber(UUID repositoryId, SseEmitter emitter) {
+            this.repositoryId = repositoryId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            synchronized (this) {
+                RepositoryState state = states.get(repositoryId);
+                if (pending.size() >= maxPendingFrames && state != null) {
+                    // клиент отстал: вместо накопленных дельт — один актуальный снимок
+                    pending.clear();
+                    pending.add(state.snapshotFrame());
+                } else {
+                    pending.add(frame);
+                }
+            }
+            scheduleDrain();
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                if (!pending.isEmpty() || draining.get()) {
+                    return;
+                }
+                pending.add(HEARTBEAT);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                    synchronized (this) {
+                        frame = pending.poll();
+                        if (frame == null) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    sendStartedAt = System.nanoTime();
+                    emitter.send(frame);
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                sendStartedAt = 0;
+                draining.set(false);
+                drop(this, e);
+            }
+        }
+    }
+}
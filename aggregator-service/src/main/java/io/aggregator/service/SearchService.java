@@ -0,0 +1,149 @@
+package io.aggregator.service;
+
+import io.aggregator.dto.CommitDTO;
+import io.aggregator.dto.DeveloperDTO;
+import io.aggregator.dto.SearchResultDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${aggregator.search.rank-candidates:1000}")
+    private int rankCandidates;
+
+    // -----------------------------
+    // Поиск по коммитам и разработчикам
+    // -----------------------------
+    @Transactional(readOnly = true)
+    public SearchResultDTO search(String query, String projectName, String repoName,
+                                  LocalDateTime from, LocalDateTime to,
+                                  int commitPage, int developerPage, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int commitPageNo = Math.max(commitPage, 0);
+        int developerPageNo = Math.max(developerPage, 0);
+        String q = query.trim();
+
+        // берём на одну строку больше — так узнаём, есть ли следующая страница
+        List<CommitDTO> commits = searchCommits(q, projectName, repoName, from, to,
+                pageSize + 1, commitPageNo * pageSize);
+        List<DeveloperDTO> developers = searchDevelopers(q, pageSize + 1, developerPageNo * pageSize);
+
+        return SearchResultDTO.builder()
+                .query(q)
+                .size(pageSize)
+                .commitPage(commitPageNo)
+                .commitsHasMore(commits.size() > pageSize)
+                .commits(commits.subList(0, Math.min(commits.size(), pageSize)))
+                .developerPage(developerPageNo)
+                .developersHasMore(developers.size() > pageSize)
+                .developers(developers.subList(0, Math.min(developers.size(), pageSize)))
+                .build();
+    }
+
+    private List<CommitDTO> searchCommits(String q, String projectName, String repoName,
+                                          LocalDateTime from, LocalDateTime to, int limit, int offset) {
+        // Индекс ускоряет только фильтр @@, а ts_rank пересчитывает tsvector каждой строки.
+        // Поэтому ранжируем не все совпадения, а rank-candidates самых свежих:
+        // для частого слова это ограничивает работу, для редкого — ничего не меняет.
+        StringBuilder sql = new StringBuilder("""
+            WITH candidates AS (
+                SELECT c.id, c.hash, c.message, c.created_at, c.branch_name,
+                       c.lines_added, c.lines_deleted, c.developer_id, c.project_id
+                FROM commits c
+        """);
+        List<Object> args = new ArrayList<>();
+
+        if (projectName != null) {
+            sql.append(" JOIN projects p ON p.id = c.project_id");
+        }
+        if (repoName != null) {
+            sql.append(" JOIN repositories r ON r.id = c.repository_id");
+        }
+        // выражение совпадает с индексом idx_commits_message_fts
+        sql.append(" WHERE to_tsvector('simple', c.message) @@ websearch_to_tsquery('simple', ?)");
+        args.add(q);
+        if (projectName != null) {
+            sql.append(" AND p.name = ?");
+            args.add(projectName);
+        }
+        if (repoName != null) {
+            sql.append(" AND r.name = ?");
+            args.add(repoName);
+        }
+        if (from != null) {
+            sql.append(" AND c.created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND c.created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+
+        sql.append(" ORDER BY c.created_at DESC LIMIT ?)");
+        args.add(rankCandidates);
+
+        sql.append("""
+            SELECT c.*, ts_rank(to_tsvector('simple', c.message), websearch_to_tsquery('simple', ?)) AS rank
+            FROM candidates c
+            ORDER BY rank DESC, c.created_at DESC
+            LIMIT ? OFFSET ?
+        """);
+        args.add(q);
+        args.add(limit);
+        args.add(offset);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> CommitDTO.builder()
+                .id(rs.getObject("id", UUID.class))
+                .hash(rs.getString("hash"))
+                .message(rs.getString("message"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .branchName(rs.getString("branch_name"))
+                .linesAdded(rs.getInt("lines_added"))
+                .linesDeleted(rs.getInt("lines_deleted"))
+                .developerId(rs.getObject("developer_id", UUID.class))
+                .projectId(rs.getObject("project_id", UUID.class))
+                .build(), args.toArray());
+    }
+
+    private List<DeveloperDTO> searchDevelopers(String q, int limit, int offset) {
+        // LIKE 'prefix%' по lower(...) обслуживается триграммными индексами
+        String pattern = escapeLike(q.toLowerCase(Locale.ROOT)) + "%";
+        String devSql = """
+            SELECT id, name, email
+            FROM developers
+            WHERE lower(name) LIKE ? OR lower(email) LIKE ?
+            ORDER BY name, email
+            LIMIT ? OFFSET ?
+        """;
+        return jdbcTemplate.query(devSql, (rs, rowNum) -> DeveloperDTO.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .build(), pattern, pattern, limit, offset);
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,25 @@
+-- ==============================
+-- Привязка коммитов к репозиторию
+-- ==============================
+-- Колонка создавалась Hibernate (ddl-auto), фиксируем её в миграциях
+ALTER TABLE commits
+    ADD COLUMN IF NOT EXISTS repository_id UUID REFERENCES repositories(id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_commits_repository ON commits(repository_id);
+
+-- ==============================
+-- Уведомления о новых коммитах (LISTEN/NOTIFY)
+-- ==============================
+-- Payload — id репозитория; одинаковые уведомления внутри транзакции Postgres склеивает сам
+CREATE OR REPLACE FUNCTION notify_commit_ingested() RETURNS trigger AS $$
+BEGIN
+    IF NEW.repository_id IS NOT NULL THEN
+        PERFORM pg_notify('commit_ingested', NEW.repository_id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_commits_notify
+    AFTER INSERT ON commits
+    FOR EACH ROW EXECUTE FUNCTION notify_commit_ingested();
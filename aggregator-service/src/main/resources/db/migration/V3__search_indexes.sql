@@ -0,0 +1,33 @@
+-- Выполняется вне транзакции (см. .conf): индексы строятся CONCURRENTLY,
+-- без блокировки вставок сборщика и чтений на больших таблицах.
+-- Flyway держит не транзакционную advisory-блокировку
+-- (spring.flyway.postgresql.transactional-lock: false), иначе CONCURRENTLY зависает.
+--
+-- На большой таблице (10M коммитов) построение занимает минуты, и всё это время
+-- сервис не становится ready. Для такой базы индексы лучше создать заранее вручную
+-- этими же командами — тогда миграция пройдёт мгновенно благодаря IF NOT EXISTS.
+--
+-- Если построение прервалось, остаётся INVALID-индекс, и IF NOT EXISTS его молча
+-- пропустит. Проверка и восстановление:
+--   SELECT indexrelid::regclass FROM pg_index WHERE NOT indisvalid;
+--   DROP INDEX CONCURRENTLY <имя>;  -- затем flyway repair и перезапуск
+
+-- Расширение для триграммного поиска по префиксу/подстроке
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ==============================
+-- Полнотекстовый поиск по сообщениям коммитов
+-- ==============================
+-- Индекс по выражению, без новой колонки: перезаписи таблицы нет.
+-- 'simple' — без стемминга: сообщения бывают и на русском, и на английском.
+-- Запросы должны использовать ровно это выражение: to_tsvector('simple', message)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_commits_message_fts
+    ON commits USING GIN (to_tsvector('simple', message));
+
+-- ==============================
+-- Поиск разработчиков по префиксу имени и email
+-- ==============================
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_developers_name_trgm
+    ON developers USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_developers_email_trgm
+    ON developers USING GIN (lower(email) gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- ==============================
+-- Ручные склейки разработчиков (alias → canonical)
+-- ==============================
+-- Автоматические правила (регистр email, noreply) считаются в памяти и здесь не хранятся
+CREATE TABLE developer_aliases (
+    alias_developer_id UUID PRIMARY KEY REFERENCES developers(id) ON DELETE CASCADE,
+    canonical_developer_id UUID NOT NULL REFERENCES developers(id) ON DELETE CASCADE,
+    created_at TIMESTAMP DEFAULT NOW(),
+    CONSTRAINT alias_not_self CHECK (alias_developer_id <> canonical_developer_id)
+);
+
+CREATE INDEX idx_developer_aliases_canonical ON developer_aliases(canonical_developer_id);
@@ -0,0 +1,27 @@
+-- ==============================
+-- Признак изменения таблицы разработчиков
+-- ==============================
+-- Сервис держит имена и email в памяти (склейка личностей) и перечитывает
+-- developers только когда значение последовательности сдвинулось.
+-- Последовательность не транзакционна: nextval не блокирует параллельные
+-- вставки сборщика; откат транзакции даёт лишь лишнее перечитывание.
+CREATE SEQUENCE IF NOT EXISTS developers_change_seq;
+
+CREATE OR REPLACE FUNCTION bump_developers_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM nextval('developers_change_seq');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_developers_change_insert
+    AFTER INSERT OR DELETE ON developers
+    FOR EACH ROW EXECUTE FUNCTION bump_developers_change();
+
+-- сборщик делает ON CONFLICT (email) DO UPDATE SET name = ... на каждый коммит:
+-- считаем только настоящие изменения
+CREATE TRIGGER trg_developers_change_update
+    AFTER UPDATE ON developers
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.email IS DISTINCT FROM NEW.email)
+    EXECUTE FUNCTION bump_developers_change();
@@ -0,0 +1,112 @@
+package io.aggregator.service;
+
+import io.aggregator.service.DeveloperIdentityService.Identity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeveloperIdentityRulesTest {
+
+    private static Identity dev(String name, String email) {
+        return new Identity(UUID.randomUUID(), name, email);
+    }
+
+    @Test
+    void mergesEmailsThatDifferOnlyInCase() {
+        Identity upper = dev("Ivan", "Ivan.Petrov@Example.com");
+        Identity lower = dev("Ivan", "ivan.petrov@example.com");
+
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(List.of(upper, lower), Map.of());
+
+        // при равных прочих canonical — email по алфавиту
+        assertThat(groups.canonicalById())
+                .containsEntry(upper.id(), upper.id())
+                .containsEntry(lower.id(), upper.id());
+        assertThat(groups.membersByCanonical().get(upper.id()))
+                .containsExactlyInAnyOrder(upper.id(), lower.id());
+    }
+
+    @Test
+    void mergesNoreplyWithTheOnlyDeveloperOfTheSameName() {
+        Identity real = dev("Ivan Petrov", "ivan@example.com");
+        Identity noreply = dev("ivan petrov ", "12345+ivan@users.noreply.github.com");
+        Identity other = dev("Anna", "anna@example.com");
+
+        DeveloperIdentityRules.Groups groups =
+                DeveloperIdentityRules.resolve(List.of(real, noreply, other), Map.of());
+
+        assertThat(groups.canonicalById())
+                .containsEntry(noreply.id(), real.id())
+                .containsEntry(real.id(), real.id())
+                .doesNotContainKey(other.id());
+    }
+
+    @Test
+    void leavesNoreplyAloneWhenTheNameIsAmbiguous() {
+        Identity first = dev("Ivan", "ivan@first.com");
+        Identity second = dev("Ivan", "ivan@second.com");
+        Identity noreply = dev("Ivan", "ivan@noreply.example.com");
+
+        DeveloperIdentityRules.Groups groups =
+                DeveloperIdentityRules.resolve(List.of(first, second, noreply), Map.of());
+
+        assertThat(groups.canonicalById()).isEmpty();
+    }
+
+    @Test
+    void ignoresBlankNamesForNoreplyMatching() {
+        Identity real = dev(" ", "someone@example.com");
+        Identity noreply = dev("", "no-reply@example.com");
+
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(List.of(real, noreply), Map.of());
+
+        assertThat(groups.canonicalById()).isEmpty();
+    }
+
+    @Test
+    void manualTargetWinsOverAlphabeticalOrder() {
+        Identity alias = dev("Ivan", "a-ivan@example.com");
+        Identity target = dev("Ivan Petrov", "z-ivan@example.com");
+
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(
+                List.of(alias, target), Map.of(alias.id(), target.id()));
+
+        assertThat(groups.canonicalById())
+                .containsEntry(alias.id(), target.id())
+                .containsEntry(target.id(), target.id());
+    }
+
+    @Test
+    void prefersRealEmailOverNoreplyAsCanonical() {
+        Identity noreply = dev("Ivan", "a+ivan@users.noreply.github.com");
+        Identity real = dev("Ivan", "z-ivan@example.com");
+
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(List.of(noreply, real), Map.of());
+
+        assertThat(groups.canonicalById()).containsEntry(noreply.id(), real.id());
+    }
+
+    @Test
+    void skipsManualAliasesForUnknownDevelopers() {
+        Identity known = dev("Ivan", "ivan@example.com");
+
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(
+                List.of(known), Map.of(UUID.randomUUID(), known.id()));
+
+        assertThat(groups.canonicalById()).isEmpty();
+        assertThat(groups.membersByCanonical()).isEmpty();
+    }
+
+    @Test
+    void detectsNoreplyAddresses() {
+        assertThat(DeveloperIdentityRules.isNoreply("noreply@github.com")).isTrue();
+        assertThat(DeveloperIdentityRules.isNoreply("1+x@users.NoReply.github.com")).isTrue();
+        assertThat(DeveloperIdentityRules.isNoreply("no-reply@example.com")).isTrue();
+        assertThat(DeveloperIdentityRules.isNoreply("ivan@example.com")).isFalse();
+        assertThat(DeveloperIdentityRules.isNoreply(null)).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package io.aggregator.service;
+
+import io.aggregator.service.DeveloperIdentityService.AliasMap;
+import io.aggregator.service.DeveloperIdentityService.Identity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeveloperIdentityServiceTest {
+
+    private static Identity dev(String name, String email) {
+        return new Identity(UUID.randomUUID(), name, email);
+    }
+
+    private static AliasMap aliasMap(List<Identity> identities) {
+        DeveloperIdentityRules.Groups groups = DeveloperIdentityRules.resolve(identities, Map.of());
+        return new AliasMap(groups.canonicalById(), groups.membersByCanonical(),
+                identities.stream().collect(Collectors.toMap(Identity::id, Function.identity())), Map.of(), 1);
+    }
+
+    @Test
+    void newEmailThatBecomesCanonicalAffectsTheWholeExistingGroup() {
+        Identity lower = dev("Ivan", "ivan@example.com");
+        Identity mixed = dev("Ivan", "ivan@Example.com");
+        Identity newcomer = dev("Ivan", "Ivan@example.com");
+
+        AliasMap before = aliasMap(List.of(lower, mixed));
+        AliasMap after = aliasMap(List.of(lower, mixed, newcomer));
+
+        // новый email выиграл по алфавиту — canonical меняется у всей группы
+        assertThat(after.canonicalById()).containsEntry(lower.id(), newcomer.id());
+        assertThat(DeveloperIdentityService.changedDevelopers(before, after))
+                .containsExactlyInAnyOrder(lower.id(), mixed.id(), newcomer.id());
+    }
+
+    @Test
+    void renameAffectsAllMembersOfTheGroup() {
+        Identity canonical = dev("Ivan", "ivan@example.com");
+        Identity alias = dev("Ivan", "IVAN@example.com");
+        Identity other = dev("Anna", "anna@example.com");
+        Identity renamed = new Identity(canonical.id(), "Ivan Petrov", canonical.email());
+
+        AliasMap before = aliasMap(List.of(canonical, alias, other));
+        AliasMap after = aliasMap(List.of(renamed, alias, other));
+
+        assertThat(DeveloperIdentityService.changedDevelopers(before, after))
+                .containsExactlyInAnyOrder(canonical.id(), alias.id());
+    }
+
+    @Test
+    void unchangedTableAffectsNobody() {
+        List<Identity> identities = List.of(dev("Ivan", "ivan@example.com"), dev("Anna", "anna@example.com"));
+
+        assertThat(DeveloperIdentityService.changedDevelopers(aliasMap(identities), aliasMap(identities))).isEmpty();
+    }
+}